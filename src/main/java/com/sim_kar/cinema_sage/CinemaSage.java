@@ -1,35 +1,59 @@
 package com.sim_kar.cinema_sage;
 
+import com.sim_kar.cinema_sage.application.CachingService;
 import com.sim_kar.cinema_sage.application.MovieTranslator;
 import com.sim_kar.cinema_sage.application.MovieService;
+import com.sim_kar.cinema_sage.application.ResponseTemplates;
 import com.sim_kar.cinema_sage.application.Translator;
 import com.sim_kar.cinema_sage.application.Service;
-import com.sim_kar.cinema_sage.data.Client;
+import com.sim_kar.cinema_sage.data.ApiKeyPool;
+import com.sim_kar.cinema_sage.data.CachingClient;
 import com.sim_kar.cinema_sage.data.MovieClient;
 import com.sim_kar.cinema_sage.data.MovieRepository;
 import com.sim_kar.cinema_sage.data.Repository;
 import com.sim_kar.cinema_sage.presentation.Chatbot;
+import com.sim_kar.cinema_sage.tracing.Tracing;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
 
 /**
  * An application that lets the user chat to a chatbot that provides movie recommendations. It will
  * ask the user to provide a genre, year and/or the name of a cast or crew member, and will respond
  * with a movie that meet the criteria, provided that such a movie exists. The application
  * communicates with the TMDB API to get movie data. Note that the API requires a key, which must be
- * present as a file named "apiKey" in the resource folder.
+ * present as a file named "apiKey" in the resource folder. The file may contain several keys, one
+ * per line, to spread requests across them.
  *
  * @author Simon Karlsson
  */
 public class CinemaSage {
     private static final String API_URL = "https://api.themoviedb.org/3";
-    private static String apiKey = "";
+    private static final int CACHE_CAPACITY = 1000;
+    // responses older than this are likely out of date, e.g. the popularity of movies changes
+    private static final Duration CACHE_MAX_AGE = Duration.ofDays(1);
+    private static final Path SNAPSHOT =
+            Path.of(System.getProperty("cinema_sage.snapshot", "cinema-sage.snapshot"));
+    // share of requests to trace; tracing is off unless this is set
+    private static final String TRACE_SAMPLE_RATE = System.getProperty("cinema_sage.trace.sample");
+    private static final Path TRACE_FILE =
+            Path.of(System.getProperty("cinema_sage.trace.file", "cinema-sage-traces.jsonl"));
+    // how long a key that is rejected, e.g. for being rate limited, is taken out of rotation
+    private static final Duration KEY_COOLDOWN = Duration.ofSeconds(10);
+    private static List<String> apiKeys = List.of();
 
     static {
         try (InputStream inputStream = CinemaSage.class.getResourceAsStream("/apiKey")) {
             assert inputStream != null;
-            apiKey = "&api_key=" + new String(inputStream.readAllBytes());
+            apiKeys = new String(inputStream.readAllBytes()).lines()
+                    .map(String::strip)
+                    .filter(key -> !key.isEmpty())
+                    .collect(Collectors.toList());
         } catch (IOException | AssertionError e) {
             e.printStackTrace();
         }
@@ -40,14 +64,95 @@ public class CinemaSage {
      * @param args application arguments
      */
     static public void main(String... args) {
+        if (TRACE_SAMPLE_RATE != null) {
+            installTracing();
+        }
+
         // initialize all classes and inject dependencies here at the root of the project
         HttpClient httpClient = HttpClient.newHttpClient();
-        Client client = new MovieClient(httpClient, API_URL, apiKey);
+        CachingClient client = new CachingClient(
+                new MovieClient(
+                        httpClient,
+                        API_URL,
+                        new ApiKeyPool(apiKeys, KEY_COOLDOWN)
+                ),
+                CACHE_CAPACITY,
+                CACHE_MAX_AGE
+        );
+        restoreSnapshot(client);
+        // save the snapshot on exit, so the next start doesn't begin with an empty cache
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> saveSnapshot(client)));
+
         Repository repository = new MovieRepository(client);
-        Service service = new MovieService(repository);
-        Translator translator = new MovieTranslator(service);
+        // equivalent requests share one result, so they only have to be serviced once
+        Service service = new CachingService(
+                new MovieService(repository),
+                CACHE_CAPACITY,
+                CACHE_MAX_AGE
+        );
+        // templates are parsed once here so that no parsing is done per response
+        ResponseTemplates templates = ResponseTemplates.load(Locale.getDefault());
+        Translator translator = new MovieTranslator(service, templates);
         Chatbot chatbot = new Chatbot(translator);
 
         chatbot.start();
     }
+
+    /**
+     * Start tracing a share of requests, and write the traces to the trace file. Tracing is left
+     * off if the sample rate isn't a number between 0 and 1.
+     */
+    private static void installTracing() {
+        // the application works the same without tracing, so a bad setting shouldn't stop it
+        double sampleRate;
+        try {
+            sampleRate = Double.parseDouble(TRACE_SAMPLE_RATE);
+        } catch (NumberFormatException e) {
+            System.err.println("Tracing is off: cinema_sage.trace.sample must be a number, but was '"
+                    + TRACE_SAMPLE_RATE + "'");
+            return;
+        }
+
+        if (!(sampleRate >= 0 && sampleRate <= 1)) {
+            System.err.println("Tracing is off: cinema_sage.trace.sample must be between 0 and 1, "
+                    + "but was " + TRACE_SAMPLE_RATE);
+            return;
+        }
+        if (sampleRate == 0) {
+            return;
+        }
+
+        try {
+            Tracing.install(TRACE_FILE, sampleRate);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Restore the client's cache from the snapshot saved by a previous run, if there is one.
+     *
+     * @param client the client to restore
+     */
+    private static void restoreSnapshot(CachingClient client) {
+        try {
+            client.restore(SNAPSHOT);
+        } catch (IOException e) {
+            // a missing or broken snapshot only means starting with an empty cache
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Save the client's cache to a snapshot that the next run can restore.
+     *
+     * @param client the client to save
+     */
+    private static void saveSnapshot(CachingClient client) {
+        try {
+            client.save(SNAPSHOT);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
 }
@@ -0,0 +1,82 @@
+package com.sim_kar.cinema_sage.application;
+
+import com.sim_kar.cinema_sage.cache.ExpiringCache;
+import io.reactivex.rxjava3.core.Observable;
+import java.time.Duration;
+
+/**
+ * A service that normalizes requests to a canonical query, and caches the results of another
+ * service by that query. Requests that are phrased differently but ask for the same thing, e.g.
+ * "a sci-fi movie by Christopher Nolan's" and "science fiction films by Christopher Nolan", share
+ * a single result, so only the first one is sent to the other service. The cache is bounded and
+ * evicts the least recently used result when full. Results expire after a maximum age, since
+ * e.g. the popularity of movies changes.
+ *
+ * <p>A cached result is the same string that the client's cache holds for the underlying discover
+ * request, so results aren't stored twice; this cache only adds the mapping from a canonical
+ * query to it, which also skips the genre and person lookups.
+ *
+ * @author Simon Karlsson
+ */
+public class CachingService implements Service {
+    private final Service service;
+    private final ExpiringCache<Query, String> cache;
+
+    /**
+     * Initialize a new CachingService.
+     *
+     * @param service the service to send requests that aren't cached to
+     * @param capacity the maximum number of results to cache
+     * @param maxAge how long a result is cached
+     */
+    public CachingService(Service service, int capacity, Duration maxAge) {
+        this.service = service;
+        this.cache = new ExpiringCache<>(capacity, maxAge);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Returns the cached result if an equivalent request has been made recently.
+     *
+     * @param genre the genre of the movie
+     * @param name the name of a person in the movie
+     * @param year the year the movie was released
+     */
+    @Override
+    public Observable<String> findMovie(String genre, String name, String year) {
+        Query query = normalize(genre, name, year);
+        return cache.getOrFetch(
+                query,
+                () -> service.findMovie(query.genre, query.name, query.year)
+        );
+    }
+
+    /**
+     * Reduce the parameters of a request to a canonical query. Genres are lowercased, spelling
+     * variants are replaced by the genre they refer to, and anything that isn't a genre (such as
+     * "films") is removed. Redundant whitespace is removed from all parameters; possessives are
+     * already removed from names by the translator.
+     *
+     * @param genre the genre of the movie
+     * @param name the name of a person in the movie
+     * @param year the year the movie was released
+     * @return the canonical query
+     */
+    static Query normalize(String genre, String name, String year) {
+        return new Query(
+                Genres.canonical(collapseWhitespace(genre).toLowerCase()),
+                collapseWhitespace(name),
+                year.strip()
+        );
+    }
+
+    private static String collapseWhitespace(String string) {
+        return string.strip().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * A canonical query for a movie.
+     */
+    record Query(String genre, String name, String year) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.sim_kar.cinema_sage.application;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The movie genres known to the TMDB API, and common spellings of them that the API doesn't
+ * recognize.
+ *
+ * @author Simon Karlsson
+ */
+final class Genres {
+    /**
+     * The names of the genres, as used by the API (but lowercase).
+     */
+    static final Set<String> NAMES = Set.of(
+            "action", "adventure", "animation", "comedy", "crime", "documentary", "drama",
+            "family", "fantasy", "history", "horror", "music", "mystery", "romance",
+            "science fiction", "tv movie", "thriller", "war", "western"
+    );
+
+    /**
+     * Spellings of genres that the API doesn't recognize, and the genre they refer to.
+     */
+    static final Map<String, String> VARIANTS = Map.ofEntries(
+            Map.entry("sci-fi", "science fiction"),
+            Map.entry("scifi", "science fiction"),
+            Map.entry("science-fiction", "science fiction"),
+            Map.entry("animated", "animation"),
+            Map.entry("comedies", "comedy"),
+            Map.entry("documentaries", "documentary"),
+            Map.entry("dramas", "drama"),
+            Map.entry("historical", "history"),
+            Map.entry("musical", "music"),
+            Map.entry("mysteries", "mystery"),
+            Map.entry("romantic", "romance"),
+            Map.entry("thrillers", "thriller"),
+            Map.entry("westerns", "western")
+    );
+
+    /**
+     * Matches any genre or spelling variant as a whole word, in any case. Longer names are tried
+     * first, so that e.g. "science fiction" isn't cut short. A hyphen counts as part of a word,
+     * so that e.g. "family-friendly" isn't taken for "family".
+     */
+    static final Pattern PATTERN = Pattern.compile(
+            Stream.concat(NAMES.stream(), VARIANTS.keySet().stream())
+                    .sorted(Comparator.comparingInt(String::length).reversed())
+                    .map(Pattern::quote)
+                    .collect(Collectors.joining("|", "(?<![\\w-])(", ")(?![\\w-])")),
+            Pattern.CASE_INSENSITIVE
+    );
+
+    private Genres() {
+    }
+
+    /**
+     * Get the canonical name of a genre. Spelling variants are replaced by the genre they refer
+     * to, and anything that isn't a genre is replaced by an empty string.
+     *
+     * @param genre a lowercase genre
+     * @return the genre's name as used by the API; or an empty string if it isn't a genre
+     */
+    static String canonical(String genre) {
+        String name = VARIANTS.getOrDefault(genre, genre);
+        return NAMES.contains(name) ? name : "";
+    }
+}
@@ -1,6 +1,7 @@
 package com.sim_kar.cinema_sage.application;
 
 import com.sim_kar.cinema_sage.data.Repository;
+import com.sim_kar.cinema_sage.tracing.Tracing;
 import io.reactivex.rxjava3.core.Observable;
 import java.util.function.Function;
 import java.util.regex.Pattern;
@@ -27,16 +28,19 @@ public class MovieService implements Service {
         // use currying to get the filter string; order of parameters matter
         return Observable.just(makeFilter())
                 .zipWith(
-                        getGenreID(genre, repository.getGenres()),
+                        getGenreID(genre, repository.getGenres())
+                                .compose(Tracing.span("service.genre")),
                         Function::apply
                 )
                 .zipWith(
-                        getPersonID(repository.getPerson(name)),
+                        getPersonID(repository.getPerson(name))
+                                .compose(Tracing.span("service.person")),
                         Function::apply
                 )
                 .map(f -> f.apply(year))
                 // getMovie returns a Observable so use flatMap to flatten
-                .flatMap(repository::getMovie);
+                .flatMap(filter -> repository.getMovie(filter)
+                        .compose(Tracing.span("service.movie")));
     }
 
     /**
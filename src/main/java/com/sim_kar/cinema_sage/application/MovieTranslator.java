@@ -1,8 +1,8 @@
 package com.sim_kar.cinema_sage.application;
 
+import com.sim_kar.cinema_sage.tracing.Tracing;
 import io.reactivex.rxjava3.core.Observable;
-import java.util.List;
-import java.util.Random;
+import java.util.Locale;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
@@ -14,25 +14,37 @@ import java.util.stream.Stream;
  */
 public class MovieTranslator implements Translator {
     private final Service service;
+    private final ResponseTemplates templates;
 
     /**
-     * Initialize a new MovieTranslator.
+     * Initialize a new MovieTranslator that responds using the templates for the default locale.
      *
      * @param service the service to use
      */
     public MovieTranslator(Service service) {
+        this(service, ResponseTemplates.load(Locale.getDefault()));
+    }
+
+    /**
+     * Initialize a new MovieTranslator that responds using the given templates.
+     *
+     * @param service the service to use
+     * @param templates the response templates to use
+     */
+    public MovieTranslator(Service service, ResponseTemplates templates) {
         this.service = service;
+        this.templates = templates;
     }
 
     @Override
     public Observable<String> makeRequest(String request) {
-        return translateResponse(
-                service.findMovie(
-                        getGenreFromRequest(request),
-                        getNameFromRequest(request),
-                        getYearFromRequest(request)
-                )
-        );
+        long start = System.nanoTime();
+        String genre = getGenreFromRequest(request);
+        String name = getNameFromRequest(request);
+        String year = getYearFromRequest(request);
+        Tracing.record("translator.parse", start);
+
+        return translateResponse(service.findMovie(genre, name, year));
     }
 
     /**
@@ -57,27 +69,10 @@ public class MovieTranslator implements Translator {
      * @return a natural language response recommending the given title;
      *         or a response that it couldn't find anything if the given title is empty
      */
-    private String generateResponse(String title) {
+    String generateResponse(String title) {
         return title.isEmpty()
-                ? Stream.of(List.of(
-                                "Sorry, I wasn't able to find a movie like that.",
-                                "I don't think such a movie exists, I'm afraid.",
-                                "I couldn't find anything matching that description. Sorry!",
-                                "I wasn't able to find the movie you are looking for."
-                ))
-                .map(l -> l.get(new Random().nextInt(l.size())))
-                .findFirst()
-                .orElse("")
-                : Stream.of(List.of(
-                                "%s is the movie you're looking for!",
-                                "How about %s?",
-                                "In that case, I would recommend %s.",
-                                "I suggest %s."
-                ))
-                .map(l -> l.get(new Random().nextInt(l.size())))
-                .map(response -> String.format(response, title))
-                .findFirst()
-                .orElse("");
+                ? templates.notFound()
+                : templates.recommend(title);
     }
 
     /**
@@ -98,7 +93,8 @@ public class MovieTranslator implements Translator {
                         // optional extra group(s) to allow names longer than two,
                         // such as Jean-Claude Van Damme
                         + "( [A-Z][A-Za-z'-]+)*)"),
-                request
+                // remove capitalized genres, otherwise you get "Any Sci-Fi" as a name
+                Genres.PATTERN.matcher(request).replaceAll(",")
         )
                 // remove trailing "'s", otherwise you get "John Woo's" instead of "John Woo"
                 .replaceAll("'s$", "");
@@ -119,15 +115,21 @@ public class MovieTranslator implements Translator {
     }
 
     /**
-     * Find and return a genre from a request. The genre must be all lowercase letters, or hyphens,
-     * such as "action" or "science-fiction". Can produce false positives, particularly adjectives.
-     * For example, the request "Recommend an awesome movie!" will interpret "awesome" as the genre.
+     * Find and return a genre from a request. A known genre, such as "action" or "Sci-Fi", is
+     * found wherever it is in the request and in any case, and is returned in lowercase.
+     * Otherwise the genre must be all lowercase letters, or hyphens, and is guessed from the
+     * words around it, which can produce false positives, particularly adjectives. For example,
+     * the request "Recommend an awesome movie!" will interpret "awesome" as the genre.
      *
      * @param request the request to parse a genre from
      * @return a genre; or an empty string if no genre was found
      */
     String getGenreFromRequest(String request) {
-        return getMatch(
+        // a known genre anywhere in the request, e.g. "1999 horror", is the most reliable match;
+        // genres may be capitalized, e.g. "Horror movies from 1999", but the API's are lowercase
+        String genre = getMatch(Genres.PATTERN, request).toLowerCase(Locale.ROOT);
+
+        return !genre.isEmpty() ? genre : getMatch(
                 Pattern.compile(
                         // ignore some common adjectives/adverbs that would match otherwise
                         "(?!good|popular|most|best|highest)"
@@ -138,8 +140,8 @@ public class MovieTranslator implements Translator {
                         // or look for something beginning with "a", "an", "the" that isn't "movie" or "film"
                         + "|(?<=\\ba |\\bA |\\ban |\\bAn |\\bthe |\\bThe )(?!movie|film)[a-z-]+"
                         // or look for something followed by "from", "released", "starring", etc. that
-                        // isn't "movie" or "film"
-                        + "|[a-z-]+(?<!movie|film)(?= from| released| starring| featuring| with| that| by))"
+                        // isn't "movie(s)" or "film(s)"
+                        + "|[a-z-]+(?<!movies?|films?)(?= from| released| starring| featuring| with| that| by))"
                 ),
                 request
         );
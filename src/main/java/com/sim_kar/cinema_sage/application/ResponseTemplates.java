@@ -0,0 +1,148 @@
+package com.sim_kar.cinema_sage.application;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A set of natural language response templates for a single locale. Templates are read from the
+ * "responses" resource bundle and parsed once, when the set is loaded, into literal segments with
+ * slots in between; a slot is marked with "%s" in the bundle. Rendering a response only picks a
+ * template and appends its segments, so no parsing or formatting is done per message.
+ *
+ * <p>The chatbot serves a single user per process, so a single set of templates is loaded at
+ * startup, for the locale of that process; there is no selection of templates per message.
+ *
+ * @author Simon Karlsson
+ */
+public class ResponseTemplates {
+    private static final String BUNDLE = "responses";
+    private static final String SLOT = "%s";
+
+    // reuse one builder per thread instead of allocating a new one for each response
+    private static final ThreadLocal<StringBuilder> builder =
+            ThreadLocal.withInitial(StringBuilder::new);
+
+    private final String[][] notFound;
+    private final String[][] recommendations;
+
+    private ResponseTemplates(String[][] notFound, String[][] recommendations) {
+        this.notFound = notFound;
+        this.recommendations = recommendations;
+    }
+
+    /**
+     * Load and parse the templates for the given locale. Falls back to the default (English)
+     * templates if the locale doesn't have its own set. Meant to be called once at startup.
+     *
+     * @param locale the locale to load templates for
+     * @return the parsed templates
+     */
+    public static ResponseTemplates load(Locale locale) {
+        // don't fall back to the JVM's default locale; a missing locale should get the base bundle
+        ResourceBundle bundle = ResourceBundle.getBundle(
+                BUNDLE,
+                locale,
+                ResourceBundle.Control.getNoFallbackControl(ResourceBundle.Control.FORMAT_PROPERTIES)
+        );
+
+        return new ResponseTemplates(
+                parseAll(bundle, "notFound"),
+                parseAll(bundle, "recommendation")
+        );
+    }
+
+    /**
+     * Get a random response stating that no movie could be found.
+     *
+     * @return a natural language response that no movie was found
+     */
+    String notFound() {
+        return render(pick(notFound), "");
+    }
+
+    /**
+     * Get a random response recommending the given title.
+     *
+     * @param title the title of a movie
+     * @return a natural language response recommending the given title
+     */
+    String recommend(String title) {
+        return render(pick(recommendations), title);
+    }
+
+    /**
+     * Pick a random template from the given templates.
+     *
+     * @param templates the templates to pick from
+     * @return a random template
+     */
+    private String[] pick(String[][] templates) {
+        return templates[ThreadLocalRandom.current().nextInt(templates.length)];
+    }
+
+    /**
+     * Render a parsed template by writing its literal segments, with the value in each slot
+     * between them, to the thread's reusable builder.
+     *
+     * @param segments the literal segments of a template
+     * @param value the value to put in the template's slots
+     * @return the rendered template
+     */
+    private String render(String[] segments, String value) {
+        StringBuilder sb = builder.get();
+        sb.setLength(0);
+        sb.append(segments[0]);
+
+        for (int i = 1; i < segments.length; i++) {
+            sb.append(value).append(segments[i]);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Parse all templates in the bundle with the given prefix. Templates are numbered from 0,
+     * e.g. "notFound.0", "notFound.1", and so on; the first missing number ends the set.
+     *
+     * @param bundle the bundle to read templates from
+     * @param prefix the prefix of the templates' keys
+     * @return the parsed templates
+     * @throws IllegalStateException if the bundle has no templates with the given prefix
+     */
+    private static String[][] parseAll(ResourceBundle bundle, String prefix) {
+        List<String[]> templates = new ArrayList<>();
+
+        for (int i = 0; bundle.containsKey(prefix + "." + i); i++) {
+            templates.add(parse(bundle.getString(prefix + "." + i)));
+        }
+
+        if (templates.isEmpty()) {
+            throw new IllegalStateException("No templates named '" + prefix + "' in " + BUNDLE);
+        }
+
+        return templates.toArray(new String[0][]);
+    }
+
+    /**
+     * Split a template into the literal segments around its slots. A template with n slots
+     * results in n + 1 segments, some of which may be empty.
+     *
+     * @param template the template to parse
+     * @return the literal segments of the template
+     */
+    private static String[] parse(String template) {
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+
+        for (int slot = template.indexOf(SLOT); slot >= 0; slot = template.indexOf(SLOT, start)) {
+            segments.add(template.substring(start, slot));
+            start = slot + SLOT.length();
+        }
+        segments.add(template.substring(start));
+
+        return segments.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,162 @@
+package com.sim_kar.cinema_sage.cache;
+
+import io.reactivex.rxjava3.core.Observable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache whose values expire after a maximum age. When full, the least recently used
+ * value is evicted. The cache counts how many times each value has been requested from it, so
+ * that the most requested values can be found, e.g. to save them. Safe to use from many threads.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @author Simon Karlsson
+ */
+public class ExpiringCache<K, V> {
+    private final int capacity;
+    private final long maxAgeMillis;
+    private final Map<K, Slot<V>> slots;
+
+    /**
+     * Initialize a new ExpiringCache.
+     *
+     * @param capacity the maximum number of values to cache
+     * @param maxAge how long a value is cached
+     */
+    public ExpiringCache(int capacity, Duration maxAge) {
+        this.capacity = capacity;
+        this.maxAgeMillis = maxAge.toMillis();
+        // access order, so that the least recently used value is evicted first
+        this.slots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Slot<V>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Get the maximum number of values the cache holds.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Get an Observable of the cached value for the key; or, if there is none, of the values of
+     * the source, which are cached as they are emitted. The cache is checked on subscription, not
+     * when the Observable is created.
+     *
+     * @param key the key
+     * @param source supplies an Observable of the value if it isn't cached
+     * @return an Observable of the value
+     */
+    public Observable<V> getOrFetch(K key, Supplier<Observable<V>> source) {
+        return Observable.defer(() -> {
+            V value = get(key);
+            return value != null
+                    ? Observable.just(value)
+                    : source.get().doOnNext(fetched -> put(key, fetched));
+        });
+    }
+
+    /**
+     * Get the cached value for the key, unless it has expired, and count the hit.
+     *
+     * @param key the key
+     * @return the cached value; or null if the key isn't cached or has expired
+     */
+    public V get(K key) {
+        synchronized (slots) {
+            Slot<V> slot = slots.get(key);
+            if (slot == null) {
+                return null;
+            }
+            if (isExpired(slot.created)) {
+                slots.remove(key);
+                return null;
+            }
+            slot.hits++;
+            return slot.value;
+        }
+    }
+
+    /**
+     * Cache a value.
+     *
+     * @param key the key
+     * @param value the value
+     */
+    public void put(K key, V value) {
+        synchronized (slots) {
+            slots.put(key, new Slot<>(value, 0, System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Cache an entry that was taken from a cache earlier, keeping its hits and age. Does nothing
+     * if the entry has expired.
+     *
+     * @param entry the entry
+     * @return true if the entry was cached; false if it has expired
+     */
+    public boolean restore(Entry<K, V> entry) {
+        if (isExpired(entry.created())) {
+            return false;
+        }
+
+        synchronized (slots) {
+            slots.put(entry.key(), new Slot<>(entry.value(), entry.hits(), entry.created()));
+        }
+        return true;
+    }
+
+    /**
+     * Get a copy of every cached entry, from least to most recently used. The copies don't change
+     * as the cache is used.
+     *
+     * @return the cached entries
+     */
+    public List<Entry<K, V>> entries() {
+        synchronized (slots) {
+            List<Entry<K, V>> entries = new ArrayList<>(slots.size());
+            slots.forEach((key, slot) ->
+                    entries.add(new Entry<>(key, slot.value, slot.hits, slot.created))
+            );
+            return entries;
+        }
+    }
+
+    private boolean isExpired(long created) {
+        return System.currentTimeMillis() - created > maxAgeMillis;
+    }
+
+    /**
+     * A copy of a cached value, how many times it had been requested from the cache, and when it
+     * was cached (in milliseconds since the epoch).
+     */
+    public record Entry<K, V>(K key, V value, int hits, long created) {
+    }
+
+    /**
+     * A cached value and its usage. Only accessed while holding the lock on the cache.
+     */
+    private static class Slot<V> {
+        private final V value;
+        private int hits;
+        private final long created;
+
+        private Slot(V value, int hits, long created) {
+            this.value = value;
+            this.hits = hits;
+            this.created = created;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.sim_kar.cinema_sage.data;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A pool of API keys that spreads requests across the keys, so that throughput isn't capped by
+ * the rate limit of a single key. The API doesn't publish a fixed limit per key, so a request is
+ * simply given the key that has been used the least, which spreads requests evenly. Keys that are
+ * rejected by the API, because they are invalid or rate limited, are taken out of rotation for a
+ * cooldown.
+ *
+ * @author Simon Karlsson
+ */
+public class ApiKeyPool {
+    private final List<Key> keys;
+    private final long cooldownNanos;
+
+    /**
+     * Initialize a new ApiKeyPool.
+     *
+     * @param keys the API keys to use
+     * @param cooldown how long a rejected key is kept out of rotation
+     * @throws IllegalArgumentException if there are no keys
+     */
+    public ApiKeyPool(List<String> keys, Duration cooldown) {
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("An API key pool needs at least one key");
+        }
+
+        this.keys = keys.stream().map(Key::new).collect(Collectors.toList());
+        this.cooldownNanos = cooldown.toNanos();
+    }
+
+    /**
+     * Get the number of keys in the pool.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return keys.size();
+    }
+
+    /**
+     * Take the least used key that isn't cooling down, and count the request against it. If every
+     * key is cooling down, the key whose cooldown ends first is used rather than waiting for it.
+     *
+     * @return the key to use for a request
+     */
+    synchronized Key acquire() {
+        long now = System.nanoTime();
+        Key best = null;
+
+        for (Key key : keys) {
+            if (best == null || isBetter(key, best, now)) {
+                best = key;
+            }
+        }
+
+        best.used++;
+        return best;
+    }
+
+    /**
+     * Report the status code of a response to a request made with the given key. If the key was
+     * rejected, it is taken out of rotation until its cooldown has passed.
+     *
+     * @param key the key that was used
+     * @param statusCode the HTTP status code of the response
+     */
+    synchronized void report(Key key, int statusCode) {
+        if (isRejection(statusCode)) {
+            key.cooldownEnd = System.nanoTime() + cooldownNanos;
+        }
+    }
+
+    /**
+     * Check if a status code means that the API rejected the key of the request, either because
+     * the key is invalid (401) or because it has exceeded its rate limit (429).
+     *
+     * @param statusCode the HTTP status code of a response
+     * @return true if the key was rejected; otherwise false
+     */
+    static boolean isRejection(int statusCode) {
+        return statusCode == 401 || statusCode == 429;
+    }
+
+    /**
+     * Check if a key should be preferred over another. A key that isn't cooling down is always
+     * preferred; among those, the least used one is preferred. Among keys that are cooling down,
+     * the one whose cooldown ends first is preferred.
+     *
+     * @param key the key to compare
+     * @param other the key to compare with
+     * @param now the current time, as given by {@link System#nanoTime()}
+     * @return true if key should be preferred over other; otherwise false
+     */
+    private boolean isBetter(Key key, Key other, long now) {
+        boolean available = key.cooldownEnd - now <= 0;
+        boolean otherAvailable = other.cooldownEnd - now <= 0;
+
+        if (available != otherAvailable) {
+            return available;
+        }
+
+        return available
+                ? key.used < other.used
+                : key.cooldownEnd - other.cooldownEnd < 0;
+    }
+
+    /**
+     * An API key and its usage.
+     */
+    static class Key {
+        private final String value;
+        private long used;
+        private long cooldownEnd = System.nanoTime();
+
+        private Key(String value) {
+            this.value = value;
+        }
+
+        /**
+         * Get the key as a query parameter, e.g. '&api_key=secret_key'.
+         *
+         * @return the key as a query parameter
+         */
+        String asParameter() {
+            return "&api_key=" + value;
+        }
+    }
+}
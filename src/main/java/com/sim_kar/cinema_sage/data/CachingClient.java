@@ -0,0 +1,157 @@
+package com.sim_kar.cinema_sage.data;
+
+import com.sim_kar.cinema_sage.cache.ExpiringCache;
+import io.reactivex.rxjava3.core.Observable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A client that caches the responses of another client, so that repeated queries (such as the
+ * list of genres, popular people and common filters) don't have to be sent to the server again.
+ * Only successful responses are cached. The cache is bounded and evicts the least recently used
+ * response when full. Responses expire after a maximum age, since they may go out of date.
+ *
+ * <p>The cache can be saved to a snapshot and restored from it, so that a restarted application
+ * starts with the responses to the most frequent queries instead of an empty cache. Responses
+ * keep their age across restarts, so a restored response expires when it would have anyway.
+ *
+ * @author Simon Karlsson
+ */
+public class CachingClient implements Client {
+    // identifies snapshot files, and the version of their format
+    private static final int MAGIC = 0x43534e50;
+    private static final int VERSION = 2;
+    // no single response is anywhere near this large; a larger length means a corrupt snapshot
+    private static final int MAX_STRING_BYTES = 16 * 1024 * 1024;
+
+    private final Client client;
+    private final ExpiringCache<String, String> cache;
+
+    /**
+     * Initialize a new CachingClient.
+     *
+     * @param client the client to send queries that aren't cached to
+     * @param capacity the maximum number of responses to cache
+     * @param maxAge how long a response is cached
+     */
+    public CachingClient(Client client, int capacity, Duration maxAge) {
+        this.client = client;
+        this.cache = new ExpiringCache<>(capacity, maxAge);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Returns the cached response if the query has been sent recently.
+     *
+     * @param query using the format '/endpoint?paramter=value&anotherparameter=value'
+     * @return the body of the HTTP response as a single string
+     */
+    @Override
+    public Observable<String> sendRequest(String query) {
+        return cache.getOrFetch(query, () -> client.sendRequest(query));
+    }
+
+    /**
+     * Save the cached responses to a snapshot file, most frequently requested first. The file is
+     * written to a temporary file first and then moved, so that an interrupted save never leaves
+     * a corrupt snapshot behind.
+     *
+     * @param file the file to save the snapshot to
+     * @throws IOException if the snapshot couldn't be written
+     */
+    public void save(Path file) throws IOException {
+        List<ExpiringCache.Entry<String, String>> entries = cache.entries();
+        entries.sort(Comparator.comparingInt(
+                (ExpiringCache.Entry<String, String> entry) -> entry.hits()).reversed()
+        );
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(entries.size());
+
+            for (ExpiringCache.Entry<String, String> entry : entries) {
+                writeString(out, entry.key());
+                writeString(out, entry.value());
+                out.writeInt(entry.hits());
+                out.writeLong(entry.created());
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Restore cached responses from a snapshot file. Does nothing if the file doesn't exist or
+     * isn't a snapshot of the current format. Responses that have expired are not restored.
+     *
+     * @param file the snapshot file to restore from
+     * @return the number of restored responses
+     * @throws IOException if the snapshot couldn't be read, or is corrupt
+     */
+    public int restore(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return 0;
+        }
+
+        try (DataInputStream in = new DataInputStream(
+                new GZIPInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return 0;
+            }
+
+            // only restore as many responses as fit; the most frequent ones come first
+            int count = in.readInt();
+            if (count < 0) {
+                throw new IOException("Corrupt snapshot: negative number of responses " + count);
+            }
+            count = Math.min(count, cache.capacity());
+            List<ExpiringCache.Entry<String, String>> entries = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String query = readString(in);
+                String body = readString(in);
+                entries.add(new ExpiringCache.Entry<>(query, body, in.readInt(), in.readLong()));
+            }
+
+            // insert the least frequent first, so that the most frequent are evicted last
+            int restored = 0;
+            for (int i = entries.size() - 1; i >= 0; i--) {
+                if (cache.restore(entries.get(i))) {
+                    restored++;
+                }
+            }
+
+            return restored;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        // not using writeUTF since it is limited to 64 kB, which a response may exceed
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_STRING_BYTES) {
+            throw new IOException("Corrupt snapshot: invalid string length " + length);
+        }
+
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -1,5 +1,6 @@
 package com.sim_kar.cinema_sage.data;
 
+import com.sim_kar.cinema_sage.tracing.Tracing;
 import io.reactivex.rxjava3.core.Observable;
 import io.reactivex.rxjava3.schedulers.Schedulers;
 import java.io.IOException;
@@ -9,28 +10,27 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 
 /**
- * A client that makes requests to a REST API.
+ * A client that makes requests to a REST API. Requests are spread across a pool of API keys.
  *
  * @author Simon Karlsson
  */
 public class MovieClient implements Client {
     private final String apiUrl;
     private final Observable<HttpClient> client;
-    private final String apiKey;
+    private final ApiKeyPool keys;
 
     /**
-     * Initialize a new MovieClient. If using an API key, make sure to include it as a query
-     * parameter, e.g. '&api_key=secret_key' and not just 'secret_key'.
+     * Initialize a new MovieClient.
      *
      * @param client the HTTP client to use
      * @param apiUrl the URL to the API to use (do not include a '/' at the end)
-     * @param apiKey the API key as a query parameter
+     * @param keys the API keys to use
      */
-    public MovieClient(HttpClient client, String apiUrl, String apiKey) {
+    public MovieClient(HttpClient client, String apiUrl, ApiKeyPool keys) {
         // same client can be used to service many requests; scalable
         this.client = Observable.just(client);
         this.apiUrl = apiUrl;
-        this.apiKey = apiKey;
+        this.keys = keys;
     }
 
     /**
@@ -45,21 +45,48 @@ public class MovieClient implements Client {
     public Observable<String> sendRequest(String query) {
         return client
                 .subscribeOn(Schedulers.io()) // getResponse is blocking
-                .map(client -> getResponse(client, buildRequest(query)))
+                .map(client -> sendWithKey(client, query))
                 .filter(response -> response.statusCode() == 200)
                 .map(HttpResponse::body)
                 .retry(3);
     }
 
+    /**
+     * Sends the query with the least used key from the pool. If the key is rejected, the query is
+     * sent again with another key, at most once per key in the pool, so that a rate limited key
+     * doesn't fail the request.
+     *
+     * @param client the HTTP client to use
+     * @param query using the format '/endpoint?paramter=value&anotherparameter=value'
+     * @return the HTTP response
+     * @throws IOException an I/O error occurs when sending or receiving
+     * @throws InterruptedException if the operation is interrupted
+     */
+    private HttpResponse<String> sendWithKey(HttpClient client, String query)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response;
+        int attempts = 0;
+
+        do {
+            ApiKeyPool.Key key = keys.acquire();
+            response = getResponse(client, buildRequest(query, key));
+            keys.report(key, response.statusCode());
+            attempts++;
+        } while (ApiKeyPool.isRejection(response.statusCode()) && attempts < keys.size());
+
+        return response;
+    }
+
     /**
      * Builds an HTTP request to the API with the query and API key.
      *
      * @param query using the format '/endpoint?paramter=value&anotherparameter=value'
+     * @param key the API key to use
      * @return the HTTP request
      */
-    private HttpRequest buildRequest(String query) {
+    private HttpRequest buildRequest(String query, ApiKeyPool.Key key) {
         return HttpRequest.newBuilder()
-                .uri(URI.create(apiUrl + query + apiKey))
+                .uri(URI.create(apiUrl + query + key.asParameter()))
                 .GET()
                 .build();
     }
@@ -75,6 +102,11 @@ public class MovieClient implements Client {
      */
     private HttpResponse<String> getResponse(HttpClient client, HttpRequest request)
             throws IOException, InterruptedException {
-        return client.send(request, HttpResponse.BodyHandlers.ofString());
+        long start = System.nanoTime();
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.ofString());
+        } finally {
+            Tracing.record("client.http", start);
+        }
     }
 }
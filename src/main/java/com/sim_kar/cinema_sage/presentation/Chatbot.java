@@ -1,6 +1,7 @@
 package com.sim_kar.cinema_sage.presentation;
 
 import com.sim_kar.cinema_sage.application.Translator;
+import com.sim_kar.cinema_sage.tracing.Tracing;
 import io.reactivex.rxjava3.core.Observable;
 import java.util.Scanner;
 import java.util.concurrent.TimeUnit;
@@ -40,7 +41,7 @@ public class Chatbot {
                 .repeat()
                 // only accept one request every second to avoid spamming the client
                 .throttleFirst(1000, TimeUnit.MILLISECONDS)
-                .flatMap(translator::makeRequest)
+                .flatMap(request -> Tracing.trace("request", () -> translator.makeRequest(request)))
                 .retry(3)
                 .subscribe(response -> {
                     System.out.println(response);
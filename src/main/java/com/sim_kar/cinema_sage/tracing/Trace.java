@@ -0,0 +1,109 @@
+package com.sim_kar.cinema_sage.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The timings of the stages, or spans, of a single traced request. Spans may be added from any
+ * thread, since the stages of a request run on different schedulers.
+ *
+ * @author Simon Karlsson
+ */
+class Trace {
+    private final String id = UUID.randomUUID().toString().replace("-", "");
+    private final String name;
+    private final long startMillis = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
+    private final List<Span> spans = new ArrayList<>();
+
+    /**
+     * Initialize a new Trace that starts now.
+     *
+     * @param name the name of the traced request
+     */
+    Trace(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Add a span to the trace.
+     *
+     * @param name the name of the span
+     * @param startNanos when the span started, as given by {@link System#nanoTime()}
+     * @param endNanos when the span ended, as given by {@link System#nanoTime()}
+     */
+    void add(String name, long startNanos, long endNanos) {
+        Span span = new Span(name, startNanos, endNanos, Thread.currentThread().getName());
+        synchronized (spans) {
+            spans.add(span);
+        }
+    }
+
+    /**
+     * Get the trace as a single line of JSON. Times are in microseconds, and the start of each
+     * span is relative to the start of the trace.
+     *
+     * @return the trace as JSON
+     */
+    String toJson() {
+        StringBuilder sb = new StringBuilder()
+                .append("{\"traceId\":\"").append(id)
+                .append("\",\"name\":\"").append(escape(name))
+                .append("\",\"startEpochMillis\":").append(startMillis)
+                .append(",\"spans\":[");
+
+        synchronized (spans) {
+            for (int i = 0; i < spans.size(); i++) {
+                Span span = spans.get(i);
+                sb.append(i == 0 ? "" : ",")
+                        .append("{\"name\":\"").append(escape(span.name))
+                        .append("\",\"startMicros\":").append((span.startNanos - startNanos) / 1000)
+                        .append(",\"durationMicros\":").append((span.endNanos - span.startNanos) / 1000)
+                        .append(",\"thread\":\"").append(escape(span.thread))
+                        .append("\"}");
+            }
+        }
+
+        return sb.append("]}").toString();
+    }
+
+    /**
+     * Escape a string so that it can be written as a JSON string.
+     *
+     * @param string the string to escape
+     * @return the escaped string
+     */
+    private static String escape(String string) {
+        StringBuilder sb = new StringBuilder(string.length());
+
+        for (char c : string.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * A timed stage of a request.
+     */
+    private static class Span {
+        private final String name;
+        private final long startNanos;
+        private final long endNanos;
+        private final String thread;
+
+        private Span(String name, long startNanos, long endNanos, String thread) {
+            this.name = name;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+            this.thread = thread;
+        }
+    }
+}
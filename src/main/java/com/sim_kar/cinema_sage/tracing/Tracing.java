@@ -0,0 +1,198 @@
+package com.sim_kar.cinema_sage.tracing;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.ObservableTransformer;
+import io.reactivex.rxjava3.plugins.RxJavaPlugins;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Records how long each stage of a request takes, from the user's input to the response. A
+ * sampled share of requests are traced; the spans of each traced request are written as a line
+ * of JSON to a file when the request is done.
+ *
+ * <p>The trace of a request follows it through the Rx chain, including onto other schedulers,
+ * by wrapping every scheduled task with the trace of the thread that scheduled it. The time a
+ * task waits to be run by a scheduler is recorded as its own span. Until {@link #install} is
+ * called, or for requests that aren't sampled, nothing is recorded and the overhead is a single
+ * thread local lookup per stage.
+ *
+ * @author Simon Karlsson
+ */
+public final class Tracing {
+    private static final ThreadLocal<Trace> current = new ThreadLocal<>();
+    private static volatile double sampleRate = 0;
+    private static volatile BufferedWriter writer;
+
+    private Tracing() {
+    }
+
+    /**
+     * Start tracing requests. Traces are appended to the given file. If tracing is already
+     * installed, the previous trace file is closed.
+     *
+     * @param file the file to write traces to
+     * @param sampleRate the share of requests to trace, between 0 and 1
+     * @throws IOException if the file couldn't be opened
+     */
+    public static synchronized void install(Path file, double sampleRate) throws IOException {
+        uninstall();
+        writer = Files.newBufferedWriter(
+                file,
+                StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND
+        );
+        RxJavaPlugins.setScheduleHandler(Tracing::propagate);
+        Tracing.sampleRate = sampleRate;
+    }
+
+    /**
+     * Stop tracing requests, and close the trace file.
+     */
+    static synchronized void uninstall() {
+        sampleRate = 0;
+        RxJavaPlugins.setScheduleHandler(null);
+
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            writer = null;
+        }
+    }
+
+    /**
+     * Trace a request, if it is sampled. The trace spans from subscription until the request
+     * terminates, and includes the spans of every stage that is assembled or subscribed to by
+     * the source.
+     *
+     * @param name the name of the request
+     * @param source supplies the Observable that services the request
+     * @param <T> the type of the response
+     * @return an Observable of the response
+     */
+    public static <T> Observable<T> trace(String name, Supplier<Observable<T>> source) {
+        return Observable.defer(() -> {
+            if (ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+                return source.get();
+            }
+
+            Trace trace = new Trace(name);
+            long start = System.nanoTime();
+            // both assembly and subscription must happen with the trace as the current one; defer
+            // so that an exception thrown by the source is passed on as an error
+            return Observable.<T>unsafeCreate(observer -> run(
+                            trace,
+                            () -> Observable.defer(source::get).subscribe(observer)
+                    ))
+                    .doFinally(() -> {
+                        trace.add(name, start, System.nanoTime());
+                        export(trace);
+                    });
+        });
+    }
+
+    /**
+     * Get a transformer that records a span from when the Observable is subscribed to until it
+     * terminates or is disposed, if the current request is traced.
+     *
+     * @param name the name of the span
+     * @param <T> the type of the Observable
+     * @return a transformer that records a span
+     */
+    public static <T> ObservableTransformer<T, T> span(String name) {
+        return upstream -> Observable.defer(() -> {
+            Trace trace = current.get();
+            if (trace == null) {
+                return upstream;
+            }
+
+            long start = System.nanoTime();
+            // end the span before the terminal event is passed on, since passing it on may end
+            // the whole trace
+            return upstream
+                    .doOnTerminate(() -> trace.add(name, start, System.nanoTime()))
+                    .doOnDispose(() -> trace.add(name, start, System.nanoTime()));
+        });
+    }
+
+    /**
+     * Record a span from the given start until now, if the current request is traced. Used to
+     * time synchronous stages.
+     *
+     * @param name the name of the span
+     * @param startNanos when the span started, as given by {@link System#nanoTime()}
+     */
+    public static void record(String name, long startNanos) {
+        Trace trace = current.get();
+        if (trace != null) {
+            trace.add(name, startNanos, System.nanoTime());
+        }
+    }
+
+    /**
+     * Wrap a scheduled task so that it runs with the trace of the thread that scheduled it, and
+     * records how long it waited to be run.
+     *
+     * @param task the scheduled task
+     * @return the wrapped task; or the task itself if the current request isn't traced
+     */
+    private static Runnable propagate(Runnable task) {
+        Trace trace = current.get();
+        if (trace == null) {
+            return task;
+        }
+
+        long scheduled = System.nanoTime();
+        return () -> {
+            trace.add("scheduler.queue", scheduled, System.nanoTime());
+            run(trace, task);
+        };
+    }
+
+    /**
+     * Run a task with the given trace as the current one.
+     *
+     * @param trace the trace
+     * @param task the task to run
+     */
+    private static void run(Trace trace, Runnable task) {
+        Trace previous = current.get();
+        current.set(trace);
+        try {
+            task.run();
+        } finally {
+            current.set(previous);
+        }
+    }
+
+    /**
+     * Write a finished trace to the trace file.
+     *
+     * @param trace the finished trace
+     */
+    private static synchronized void export(Trace trace) {
+        // tracing may have been uninstalled while the request was running
+        if (writer == null) {
+            return;
+        }
+
+        try {
+            writer.write(trace.toJson());
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            // losing a trace shouldn't affect the request
+            e.printStackTrace();
+        }
+    }
+}
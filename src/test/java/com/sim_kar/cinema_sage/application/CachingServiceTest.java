@@ -0,0 +1,88 @@
+package com.sim_kar.cinema_sage.application;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import io.reactivex.rxjava3.core.Observable;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingServiceTest {
+
+    /**
+     * Spelling variants of genres should be replaced, words that aren't genres should be removed,
+     * and redundant whitespace should be removed.
+     */
+    @Test
+    void normalize() {
+        assertAll(
+                () -> assertEquals(new CachingService.Query("science fiction", "", ""), CachingService.normalize("Sci-Fi", "", "")),
+                () -> assertEquals(new CachingService.Query("science fiction", "", ""), CachingService.normalize("science  fiction", "", "")),
+                () -> assertEquals(new CachingService.Query("horror", "", "1999"), CachingService.normalize("horror", "", " 1999")),
+                () -> assertEquals(new CachingService.Query("comedy", "Jim Carrey", ""), CachingService.normalize("comedies", " Jim  Carrey ", "")),
+                () -> assertEquals(new CachingService.Query("", "", "1999"), CachingService.normalize("films", "", "1999")),
+                () -> assertEquals(new CachingService.Query("", "", ""), CachingService.normalize("awesome", "", ""))
+        );
+    }
+
+    /**
+     * Equivalent requests should only be sent to the underlying service once.
+     */
+    @Test
+    void cachesEquivalentRequests() {
+        Service service = mock(Service.class);
+        when(service.findMovie("science fiction", "Christopher Nolan", "")).thenReturn(Observable.just("Inception"));
+        CachingService cachingService = new CachingService(service, 10, Duration.ofDays(1));
+
+        assertAll(
+                () -> assertEquals("Inception", cachingService.findMovie("sci-fi", " Christopher  Nolan", "").blockingFirst()),
+                () -> assertEquals("Inception", cachingService.findMovie("science fiction", "Christopher Nolan", "").blockingFirst())
+        );
+        verify(service, times(1)).findMovie("science fiction", "Christopher Nolan", "");
+    }
+
+    /**
+     * Different phrasings of the same request should be parsed and normalized to the same query.
+     */
+    @Test
+    void normalizePhrasings() {
+        MovieTranslator translator = new MovieTranslator(mock(Service.class));
+        CachingService.Query expected = new CachingService.Query("horror", "", "1999");
+
+        assertAll(
+                () -> assertEquals(expected, normalize(translator, "A horror movie from 1999")),
+                () -> assertEquals(expected, normalize(translator, "horror films released in 1999")),
+                () -> assertEquals(expected, normalize(translator, "1999 horror")),
+                () -> assertEquals(expected, normalize(translator, "Horror movies from 1999")),
+                () -> assertEquals(
+                        new CachingService.Query("science fiction", "", "1999"),
+                        normalize(translator, "a SCI-FI movie from 1999")
+                )
+        );
+    }
+
+    /**
+     * Results should not be served from the cache after they have expired.
+     */
+    @Test
+    void expiresResults() {
+        Service service = mock(Service.class);
+        when(service.findMovie("horror", "", "1999")).thenReturn(Observable.just("The Blair Witch Project"));
+        CachingService cachingService = new CachingService(service, 10, Duration.ofMillis(-1));
+
+        cachingService.findMovie("horror", "", "1999").blockingFirst();
+        cachingService.findMovie("horror", "", "1999").blockingFirst();
+        verify(service, times(2)).findMovie("horror", "", "1999");
+    }
+
+    private static CachingService.Query normalize(MovieTranslator translator, String request) {
+        return CachingService.normalize(
+                translator.getGenreFromRequest(request),
+                translator.getNameFromRequest(request),
+                translator.getYearFromRequest(request)
+        );
+    }
+}
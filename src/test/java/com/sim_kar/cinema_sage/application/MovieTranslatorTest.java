@@ -2,6 +2,8 @@ package com.sim_kar.cinema_sage.application;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import static org.mockito.Mockito.mock;
@@ -26,7 +28,9 @@ class MovieTranslatorTest {
                 () -> assertEquals(translator.getNameFromRequest("Some names have apostrophes, like Elsa O'Connolly"), "Elsa O'Connolly"),
                 () -> assertEquals(translator.getNameFromRequest("Names like Frances DuBois are also possible."), "Frances DuBois"),
                 () -> assertEquals(translator.getNameFromRequest("Single names like Bob are a no-go."), ""),
-                () -> assertEquals(translator.getNameFromRequest("Tom Cruise's best movie is Mission Impossible"), "Tom Cruise")
+                () -> assertEquals(translator.getNameFromRequest("Tom Cruise's best movie is Mission Impossible"), "Tom Cruise"),
+                () -> assertEquals(translator.getNameFromRequest("Something by Christopher Nolan\u2019s crew"), "Christopher Nolan"),
+                () -> assertEquals(translator.getNameFromRequest("Any Sci-Fi from 1982?"), "")
         );
     }
 
@@ -45,9 +49,11 @@ class MovieTranslatorTest {
     }
 
     /**
-     * Should capture genres proceeded by "a", "an", "the", or followed by "from", "released",
+     * Should capture known genres anywhere and in any case, but not as part of a hyphenated word,
+     * and other genres proceeded by "a", "an", "the", or followed by "from", "released",
      * "starring", "featuring", "with", "that". Should also ignore the false positives "movie" and
-     * "film", and the adjectives and adverbs "good", "popular", "most", "best", "highest".
+     * "film" (and their plurals), and the adjectives and adverbs "good", "popular", "most",
+     * "best", "highest".
      */
     @Test
     void getGenre() {
@@ -59,7 +65,15 @@ class MovieTranslatorTest {
                 () -> assertEquals(translator.getGenreFromRequest("I wanna see the science fiction movie that made the most money!"), "science fiction"),
                 () -> assertEquals(translator.getGenreFromRequest("A comedy that doesn't suck please."), "comedy"),
                 () -> assertEquals(translator.getGenreFromRequest("I wanna see a movie that doesn't suck for once."), ""),
-                () -> assertEquals(translator.getGenreFromRequest("Can you recommend a good movie?"), "")
+                () -> assertEquals(translator.getGenreFromRequest("Can you recommend a good movie?"), ""),
+                () -> assertEquals(translator.getGenreFromRequest("Find me horror films released in 1999"), "horror"),
+                () -> assertEquals(translator.getGenreFromRequest("1999 horror"), "horror"),
+                () -> assertEquals(translator.getGenreFromRequest("Any sci-fi from 1982?"), "sci-fi"),
+                () -> assertEquals(translator.getGenreFromRequest("Any Sci-Fi from 1982?"), "sci-fi"),
+                () -> assertEquals(translator.getGenreFromRequest("Horror movies from 1999"), "horror"),
+                () -> assertEquals(translator.getGenreFromRequest("a SCI-FI movie from 1999"), "sci-fi"),
+                () -> assertEquals(translator.getGenreFromRequest("A family-friendly comedy from 2005"), "comedy"),
+                () -> assertEquals(translator.getGenreFromRequest("Show me some movies from 1999"), "")
         );
     }
 
@@ -82,4 +96,18 @@ class MovieTranslatorTest {
 
         assertEquals(translator.getTitleFromResponse(input), "Kung Fu Panda 3");
     }
-}
\ No newline at end of file
+
+    /**
+     * Should put the title in the response if there is one, and respond that nothing was found
+     * otherwise.
+     */
+    @Test
+    void generateResponse() {
+        assertAll(
+                () -> assertTrue(translator.generateResponse("Heat").contains("Heat")),
+                () -> assertFalse(translator.generateResponse("Heat").contains("%s")),
+                () -> assertFalse(translator.generateResponse("").isEmpty()),
+                () -> assertFalse(translator.generateResponse("").contains("%s"))
+        );
+    }
+}
@@ -0,0 +1,38 @@
+package com.sim_kar.cinema_sage.application;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.Locale;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ResponseTemplatesTest {
+    static final Set<String> ENGLISH = Set.of(
+            "Heat is the movie you're looking for!",
+            "How about Heat?",
+            "In that case, I would recommend Heat.",
+            "I suggest Heat."
+    );
+    static final Set<String> SWEDISH = Set.of(
+            "Heat \u00e4r filmen du letar efter!",
+            "Vad s\u00e4gs om Heat?",
+            "I s\u00e5 fall skulle jag rekommendera Heat.",
+            "Jag f\u00f6resl\u00e5r Heat."
+    );
+
+    /**
+     * A locale with its own templates should use them; a locale without should fall back to the
+     * default (English) templates, regardless of the JVM's default locale.
+     */
+    @Test
+    void loadLocale() {
+        ResponseTemplates swedish = ResponseTemplates.load(new Locale("sv", "SE"));
+        ResponseTemplates french = ResponseTemplates.load(Locale.FRENCH);
+
+        assertAll(
+                () -> assertTrue(SWEDISH.contains(swedish.recommend("Heat"))),
+                () -> assertTrue(ENGLISH.contains(french.recommend("Heat"))),
+                () -> assertTrue(ENGLISH.contains(ResponseTemplates.load(Locale.ROOT).recommend("Heat")))
+        );
+    }
+}
@@ -0,0 +1,60 @@
+package com.sim_kar.cinema_sage.cache;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ExpiringCacheTest {
+    /**
+     * A full cache should evict the least recently used value, not the least recently added one.
+     */
+    @Test
+    void evictsLeastRecentlyUsed() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(2, Duration.ofDays(1));
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+        cache.put("c", "3");
+
+        assertAll(
+                () -> assertEquals("1", cache.get("a")),
+                () -> assertNull(cache.get("b")),
+                () -> assertEquals("3", cache.get("c"))
+        );
+    }
+
+    /**
+     * Expired values should neither be returned nor restored.
+     */
+    @Test
+    void expiresValues() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(2, Duration.ofMillis(-1));
+        cache.put("a", "1");
+
+        assertAll(
+                () -> assertNull(cache.get("a")),
+                () -> assertFalse(cache.restore(new ExpiringCache.Entry<>("b", "2", 0, 0))),
+                () -> assertEquals(List.of(), cache.entries())
+        );
+    }
+
+    /**
+     * Entries should count hits, and not change as the cache is used afterwards.
+     */
+    @Test
+    void countsHits() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(2, Duration.ofDays(1));
+        cache.put("a", "1");
+        cache.get("a");
+        cache.get("a");
+
+        List<ExpiringCache.Entry<String, String>> entries = cache.entries();
+        cache.get("a");
+
+        assertEquals(2, entries.get(0).hits());
+    }
+}
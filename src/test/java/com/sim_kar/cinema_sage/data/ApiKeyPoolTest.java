@@ -0,0 +1,51 @@
+package com.sim_kar.cinema_sage.data;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ApiKeyPoolTest {
+
+    /**
+     * Requests should alternate between keys, since the least used key is used.
+     */
+    @Test
+    void spreadsRequests() {
+        ApiKeyPool pool = new ApiKeyPool(List.of("a", "b"), Duration.ofSeconds(10));
+        ApiKeyPool.Key first = pool.acquire();
+        ApiKeyPool.Key second = pool.acquire();
+
+        assertAll(
+                () -> assertNotSame(first, second),
+                () -> assertSame(first, pool.acquire()),
+                () -> assertSame(second, pool.acquire())
+        );
+    }
+
+    /**
+     * A key that is rejected should not be used until its cooldown has passed, unless every key
+     * is cooling down.
+     */
+    @Test
+    void rejectedKeysCoolDown() {
+        ApiKeyPool pool = new ApiKeyPool(List.of("a", "b"), Duration.ofSeconds(10));
+        ApiKeyPool.Key rejected = pool.acquire();
+        pool.report(rejected, 429);
+        ApiKeyPool.Key other = pool.acquire();
+
+        assertAll(
+                () -> assertNotSame(rejected, other),
+                () -> assertSame(other, pool.acquire()),
+                () -> assertSame(other, pool.acquire()),
+                () -> assertEquals("&api_key=b", other.asParameter())
+        );
+
+        pool.report(other, 401);
+        // the rejected key's cooldown ends first
+        assertSame(rejected, pool.acquire());
+    }
+}
@@ -0,0 +1,94 @@
+package com.sim_kar.cinema_sage.data;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import io.reactivex.rxjava3.core.Observable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class CachingClientTest {
+    @TempDir
+    Path dir;
+
+    /**
+     * A query should only be sent to the underlying client the first time it is requested.
+     */
+    @Test
+    void cachesResponses() {
+        Client client = mock(Client.class);
+        when(client.sendRequest("/genre/movie/list?")).thenReturn(Observable.just("genres"));
+        CachingClient cachingClient = new CachingClient(client, 10, Duration.ofDays(1));
+
+        assertAll(
+                () -> assertEquals("genres", cachingClient.sendRequest("/genre/movie/list?").blockingFirst()),
+                () -> assertEquals("genres", cachingClient.sendRequest("/genre/movie/list?").blockingFirst())
+        );
+        verify(client, times(1)).sendRequest("/genre/movie/list?");
+    }
+
+    /**
+     * A restored snapshot should answer the queries that were cached when it was saved, without
+     * sending them to the underlying client; responses that are too old should not be restored.
+     */
+    @Test
+    void restoresSnapshot() throws IOException {
+        Client client = mock(Client.class);
+        when(client.sendRequest("/search/person?query=Tom+Cruise")).thenReturn(Observable.just("person"));
+        CachingClient warm = new CachingClient(client, 10, Duration.ofDays(1));
+        warm.sendRequest("/search/person?query=Tom+Cruise").blockingFirst();
+        warm.save(dir.resolve("snapshot"));
+
+        Client cold = mock(Client.class);
+        CachingClient restored = new CachingClient(cold, 10, Duration.ofDays(1));
+
+        assertAll(
+                () -> assertEquals(0, new CachingClient(cold, 10, Duration.ofMillis(-1)).restore(dir.resolve("snapshot"))),
+                () -> assertEquals(1, restored.restore(dir.resolve("snapshot"))),
+                () -> assertEquals("person", restored.sendRequest("/search/person?query=Tom+Cruise").blockingFirst())
+        );
+        verifyNoInteractions(cold);
+    }
+
+    /**
+     * A snapshot with invalid counts or lengths should be rejected with an IOException, rather
+     * than failing with a runtime exception or running out of memory.
+     */
+    @Test
+    void rejectsCorruptSnapshot() throws IOException {
+        CachingClient client = new CachingClient(mock(Client.class), 10, Duration.ofDays(1));
+
+        assertAll(
+                () -> assertThrows(IOException.class, () -> client.restore(corrupt(-1, 0))),
+                () -> assertThrows(IOException.class, () -> client.restore(corrupt(1, -5))),
+                () -> assertThrows(IOException.class, () -> client.restore(corrupt(1, Integer.MAX_VALUE)))
+        );
+    }
+
+    /**
+     * Write a snapshot with a valid header, but the given number of responses and length of the
+     * first string.
+     */
+    private Path corrupt(int count, int length) throws IOException {
+        Path file = Files.createTempFile(dir, "corrupt", ".snapshot");
+        try (DataOutputStream out = new DataOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(0x43534e50);
+            out.writeInt(2);
+            out.writeInt(count);
+            out.writeInt(length);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,72 @@
+package com.sim_kar.cinema_sage.data;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MovieClientTest {
+
+    /**
+     * A request whose key is rejected should be sent again with another key.
+     */
+    @Test
+    void retryWithAnotherKey() throws IOException, InterruptedException {
+        HttpClient httpClient = mockHttpClient(429, 200);
+        MovieClient client = new MovieClient(httpClient, "https://api", pool("a", "b"));
+
+        assertAll(
+                () -> assertEquals("key b", client.sendRequest("/genre/movie/list?").blockingFirst()),
+                () -> verify(httpClient, times(2)).send(any(), any())
+        );
+    }
+
+    /**
+     * If every key is rejected, each key should be tried only once, and the request should be
+     * unsuccessful.
+     */
+    @Test
+    void tryEachKeyOnce() throws IOException, InterruptedException {
+        HttpClient httpClient = mockHttpClient(429, 401);
+        MovieClient client = new MovieClient(httpClient, "https://api", pool("a", "b"));
+
+        assertAll(
+                () -> assertEquals("", client.sendRequest("/genre/movie/list?").blockingFirst("")),
+                () -> verify(httpClient, times(2)).send(any(), any())
+        );
+    }
+
+    private static ApiKeyPool pool(String... keys) {
+        return new ApiKeyPool(List.of(keys), Duration.ofSeconds(10));
+    }
+
+    /**
+     * Mock an HTTP client that responds to requests with key "a" and "b" with the given status
+     * codes, and a body naming the key.
+     */
+    @SuppressWarnings("unchecked")
+    private static HttpClient mockHttpClient(int statusA, int statusB)
+            throws IOException, InterruptedException {
+        HttpClient httpClient = mock(HttpClient.class);
+        when(httpClient.send(any(HttpRequest.class), any(HttpResponse.BodyHandler.class)))
+                .thenAnswer(invocation -> {
+                    HttpRequest request = invocation.getArgument(0);
+                    boolean keyA = request.uri().getQuery().endsWith("api_key=a");
+                    HttpResponse<String> response = mock(HttpResponse.class);
+                    when(response.statusCode()).thenReturn(keyA ? statusA : statusB);
+                    when(response.body()).thenReturn(keyA ? "key a" : "key b");
+                    return response;
+                });
+        return httpClient;
+    }
+}
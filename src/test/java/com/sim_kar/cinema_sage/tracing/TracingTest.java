@@ -0,0 +1,91 @@
+package com.sim_kar.cinema_sage.tracing;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TracingTest {
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void teardown() {
+        Tracing.uninstall();
+    }
+
+    /**
+     * Spans of stages that run on another scheduler should be recorded in the trace of the
+     * request, along with the time spent waiting for the scheduler.
+     */
+    @Test
+    void traceAcrossSchedulers() throws IOException, InterruptedException {
+        Path file = dir.resolve("traces.jsonl");
+        Tracing.install(file, 1);
+
+        Tracing.trace("request", () -> Observable.just("movie")
+                .subscribeOn(Schedulers.io())
+                .compose(Tracing.span("stage"))
+                .flatMap(movie -> Observable.just(movie).compose(Tracing.span("nested")))
+        ).blockingSubscribe();
+
+        // the trace is written after the response has been emitted
+        for (int i = 0; i < 100 && Files.size(file) == 0; i++) {
+            Thread.sleep(10);
+        }
+
+        List<String> traces = Files.readAllLines(file);
+        assertAll(
+                () -> assertEquals(1, traces.size()),
+                () -> assertTrue(traces.get(0).contains("\"name\":\"request\"")),
+                () -> assertTrue(traces.get(0).contains("\"name\":\"stage\"")),
+                () -> assertTrue(traces.get(0).contains("\"name\":\"nested\"")),
+                () -> assertTrue(traces.get(0).contains("\"name\":\"scheduler.queue\""))
+        );
+    }
+
+    /**
+     * An exception thrown by the source of a traced request should be passed on as an error.
+     */
+    @Test
+    void passOnErrors() throws IOException {
+        Tracing.install(dir.resolve("traces.jsonl"), 1);
+
+        assertThrows(IllegalStateException.class, () -> Tracing.<String>trace("request", () -> {
+            throw new IllegalStateException();
+        }).blockingFirst());
+    }
+
+    /**
+     * Quotes and backslashes in span and thread names should be escaped.
+     */
+    @Test
+    void escapeNames() throws IOException, InterruptedException {
+        Path file = dir.resolve("traces.jsonl");
+        Tracing.install(file, 1);
+
+        Thread thread = new Thread(
+                () -> Tracing.trace("request", () -> Observable.just("movie")
+                        .compose(Tracing.span("say \"hi\""))
+                ).blockingSubscribe(),
+                "thread \\ 1"
+        );
+        thread.start();
+        thread.join();
+
+        String trace = Files.readString(file);
+        assertAll(
+                () -> assertTrue(trace.contains("\"name\":\"say \\\"hi\\\"\"")),
+                () -> assertTrue(trace.contains("\"thread\":\"thread \\\\ 1\""))
+        );
+    }
+}